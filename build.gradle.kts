@@ -1,6 +1,7 @@
 plugins {
 	java
 	id("org.springframework.boot") version "4.0.3"
+	id("org.springframework.boot.aot") version "4.0.3"
 	id("io.spring.dependency-management") version "1.1.7"
 }
 
@@ -35,3 +36,46 @@ dependencies {
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+val cdsJava = javaToolchains.launcherFor(java.toolchain).map { it.executablePath.asFile.absolutePath }
+val cdsApplication = layout.buildDirectory.dir("cds/application")
+val cdsArchiveFile = layout.buildDirectory.file("cds/application.jsa")
+
+val extractCdsApplication by tasks.registering(Exec::class) {
+	group = "build"
+	description = "Extracts the boot jar into the layout required for a CDS archive."
+	val bootJar = tasks.bootJar.flatMap { it.archiveFile }
+	inputs.file(bootJar)
+	outputs.dir(cdsApplication)
+	executable = cdsJava.get()
+	argumentProviders.add(CommandLineArgumentProvider {
+		listOf("-Djarmode=tools", "-jar", bootJar.get().asFile.absolutePath, "extract", "--force",
+			"--destination", cdsApplication.get().asFile.absolutePath, "--application-filename", "spring-twin-cli.jar")
+	})
+}
+
+tasks.register<Exec>("cdsArchive") {
+	group = "build"
+	description = "Creates a Class Data Sharing archive for the AOT-processed CLI with a training run."
+	dependsOn(extractCdsApplication)
+	// The JVM rejects an archive whose classpath jars changed, so retrain whenever the extracted app does.
+	inputs.file(cdsApplication.map { it.file("spring-twin-cli.jar") })
+	inputs.dir(cdsApplication.map { it.dir("lib") })
+	outputs.file(cdsArchiveFile)
+	workingDir = cdsApplication.get().asFile
+	executable = cdsJava.get()
+	argumentProviders.add(CommandLineArgumentProvider {
+		// Eager initialization during training so that classes of every bean end up in the archive; this works
+		// because main() keeps lazy init out of the AOT-generated bean definitions.
+		listOf("-XX:ArchiveClassesAtExit=" + cdsArchiveFile.get().asFile.absolutePath,
+			"-Dspring.context.exit=onRefresh", "-Dspring.aot.enabled=true",
+			"-Dspring.main.lazy-initialization=false", "-jar", "spring-twin-cli.jar")
+	})
+}
+
+tasks.register<JavaExec>("generateSyntheticProject") {
+	group = "verification"
+	description = "Generates a synthetic Spring Boot project for scale testing; pass options with --args."
+	classpath = sourceSets.test.get().runtimeClasspath
+	mainClass = "spring.twin.synthetic.SyntheticProjectGenerator"
+}
@@ -2,12 +2,18 @@ package spring.twin;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.aot.AbstractAotProcessor;
 
 @SpringBootApplication
 public class SpringTwinApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(SpringTwinApplication.class, args);
+		SpringApplication application = new SpringApplication(SpringTwinApplication.class);
+		// CLI launches only create the beans a command touches; tests keep eager initialization. AOT processing
+		// also runs main(), and lazy init must not be baked into the generated bean definitions there, otherwise
+		// spring.main.lazy-initialization=false could no longer turn it off at runtime.
+		application.setLazyInitialization(!Boolean.getBoolean(AbstractAotProcessor.AOT_PROCESSING));
+		application.run(args);
 	}
 
 }
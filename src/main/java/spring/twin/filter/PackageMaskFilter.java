@@ -0,0 +1,176 @@
+package spring.twin.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Include/exclude package filter shared by all indexing stages.
+ * <p>
+ * A mask is a package or class name prefix such as {@code com.example} or {@code com.example.*}; it matches the
+ * name itself and everything below it, including nested classes, on segment boundaries only ({@code com.example}
+ * does not match {@code com.examples.Foo}). A name is accepted when it matches no exclude mask and either no include
+ * masks are configured or at least one of them matches, so exclusions always win.
+ * <p>
+ * Masks are compiled once into a character trie. Matching walks the name in place, accepting both source names
+ * ({@code com.example.Foo}) and bytecode internal names ({@code com/example/Foo}) without allocating, either as
+ * characters or as the raw bytes of a constant pool entry.
+ */
+public final class PackageMaskFilter {
+
+	private static final PackageMaskFilter ACCEPT_ALL = new PackageMaskFilter(List.of(), List.of());
+
+	private static final byte INCLUDE = 1;
+	private static final byte EXCLUDE = 2;
+
+	private final Node root = new Node();
+
+	private final boolean includeAll;
+
+	private PackageMaskFilter(Collection<String> includes, Collection<String> excludes) {
+		includes.forEach(mask -> insert(mask, INCLUDE));
+		excludes.forEach(mask -> insert(mask, EXCLUDE));
+		this.includeAll = includes.isEmpty();
+	}
+
+	public static PackageMaskFilter of(Collection<String> includes, Collection<String> excludes) {
+		if (includes.isEmpty() && excludes.isEmpty()) {
+			return ACCEPT_ALL;
+		}
+		return new PackageMaskFilter(includes, excludes);
+	}
+
+	public static PackageMaskFilter acceptAll() {
+		return ACCEPT_ALL;
+	}
+
+	public boolean accepts(CharSequence name) {
+		return accepts(name, 0, name.length());
+	}
+
+	/**
+	 * Tests {@code name[start, end)}, which lets callers match a slice of a descriptor or a larger buffer.
+	 */
+	public boolean accepts(CharSequence name, int start, int end) {
+		if (this == ACCEPT_ALL) {
+			return true;
+		}
+		boolean included = includeAll;
+		Node node = root;
+		for (int i = start; ; i++) {
+			if (node.flags != 0 && (i == end || isBoundary(name.charAt(i)))) {
+				if ((node.flags & EXCLUDE) != 0) {
+					return false;
+				}
+				included |= (node.flags & INCLUDE) != 0;
+			}
+			if (i == end) {
+				return included;
+			}
+			node = node.child(normalize(name.charAt(i)));
+			if (node == null) {
+				return included;
+			}
+		}
+	}
+
+	/**
+	 * Tests a name stored as modified UTF-8, such as a {@code CONSTANT_Utf8} entry of a class file constant pool,
+	 * without decoding it. Package and class names are ASCII in practice and are matched byte by byte; a name with
+	 * non-ASCII characters is decoded and matched as a string.
+	 */
+	public boolean accepts(byte[] utf8, int offset, int length) {
+		if (this == ACCEPT_ALL) {
+			return true;
+		}
+		int end = offset + length;
+		boolean included = includeAll;
+		Node node = root;
+		for (int i = offset; ; i++) {
+			if (node.flags != 0 && (i == end || isBoundary((char) utf8[i]))) {
+				if ((node.flags & EXCLUDE) != 0) {
+					return false;
+				}
+				included |= (node.flags & INCLUDE) != 0;
+			}
+			if (i == end) {
+				return included;
+			}
+			if (utf8[i] < 0) {
+				return accepts(new String(utf8, offset, length, StandardCharsets.UTF_8));
+			}
+			node = node.child(normalize((char) utf8[i]));
+			if (node == null) {
+				return included;
+			}
+		}
+	}
+
+	private void insert(String mask, byte flag) {
+		String prefix = mask.strip();
+		if (prefix.endsWith(".**")) {
+			prefix = prefix.substring(0, prefix.length() - 3);
+		} else if (prefix.endsWith(".*")) {
+			prefix = prefix.substring(0, prefix.length() - 2);
+		}
+		while (!prefix.isEmpty() && isSeparator(prefix.charAt(prefix.length() - 1))) {
+			prefix = prefix.substring(0, prefix.length() - 1);
+		}
+		if (prefix.isEmpty() || prefix.indexOf('*') >= 0) {
+			throw new IllegalArgumentException("Unsupported package mask: '" + mask + "'");
+		}
+		Node node = root;
+		for (int i = 0; i < prefix.length(); i++) {
+			node = node.childOrCreate(normalize(prefix.charAt(i)));
+		}
+		node.flags |= flag;
+	}
+
+	private static boolean isSeparator(char c) {
+		return c == '.' || c == '/';
+	}
+
+	/**
+	 * A mask ends on a package separator or before a nested class, so {@code com.example.Legacy} also covers
+	 * {@code com/example/Legacy$1}, which is a class file of its own.
+	 */
+	private static boolean isBoundary(char c) {
+		return isSeparator(c) || c == '$';
+	}
+
+	private static char normalize(char c) {
+		return c == '/' ? '.' : c;
+	}
+
+	private static final class Node {
+
+		private char[] keys = new char[0];
+		private Node[] children = new Node[0];
+		private byte flags;
+
+		Node child(char key) {
+			char[] keys = this.keys;
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] == key) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		Node childOrCreate(char key) {
+			Node child = child(key);
+			if (child == null) {
+				child = new Node();
+				keys = Arrays.copyOf(keys, keys.length + 1);
+				children = Arrays.copyOf(children, children.length + 1);
+				keys[keys.length - 1] = key;
+				children[children.length - 1] = child;
+			}
+			return child;
+		}
+
+	}
+
+}
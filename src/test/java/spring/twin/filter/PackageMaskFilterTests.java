@@ -0,0 +1,127 @@
+package spring.twin.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PackageMaskFilterTests {
+
+	@Test
+	void acceptsEverythingWithoutMasks() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of(), List.of());
+
+		assertThat(filter.accepts("java.lang.String")).isTrue();
+		assertThat(filter.accepts("com/example/Foo")).isTrue();
+	}
+
+	@Test
+	void matchesIncludesOnSegmentBoundaries() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of("com.example"), List.of());
+
+		assertThat(filter.accepts("com.example")).isTrue();
+		assertThat(filter.accepts("com.example.Foo")).isTrue();
+		assertThat(filter.accepts("com.example.order.OrderService$Inner")).isTrue();
+		assertThat(filter.accepts("com.examples.Foo")).isFalse();
+		assertThat(filter.accepts("com.Foo")).isFalse();
+		assertThat(filter.accepts("org.springframework.stereotype.Service")).isFalse();
+	}
+
+	@Test
+	void matchesBytecodeInternalNames() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of("com.example.*"), List.of("com.example.generated"));
+
+		assertThat(filter.accepts("com/example/order/OrderService")).isTrue();
+		assertThat(filter.accepts("com/example/generated/Mapper")).isFalse();
+		assertThat(filter.accepts("java/lang/Object")).isFalse();
+	}
+
+	@Test
+	void exclusionsWinOverInclusions() {
+		PackageMaskFilter filter = PackageMaskFilter.of(
+				List.of("com.example", "com.example.legacy.api"), List.of("com.example.legacy"));
+
+		assertThat(filter.accepts("com.example.order.OrderService")).isTrue();
+		assertThat(filter.accepts("com.example.legacy.api.LegacyController")).isFalse();
+	}
+
+	@Test
+	void excludesWithoutIncludesAcceptTheRest() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of(), List.of("com.example.dto.**"));
+
+		assertThat(filter.accepts("com.example.order.OrderService")).isTrue();
+		assertThat(filter.accepts("com.example.dto.OrderDto")).isFalse();
+	}
+
+	@Test
+	void classMaskCoversNestedAndAnonymousClasses() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of(), List.of("com.example.Legacy"));
+
+		assertThat(filter.accepts("com.example.Legacy")).isFalse();
+		assertThat(filter.accepts("com.example.Legacy$Inner")).isFalse();
+		assertThat(filter.accepts("com/example/Legacy$1")).isFalse();
+		assertThat(filter.accepts("com.example.LegacyAdapter")).isTrue();
+	}
+
+	@Test
+	void ignoresTrailingSeparator() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of("com.example."), List.of("com/example/dto/"));
+
+		assertThat(filter.accepts("com.example.Foo")).isTrue();
+		assertThat(filter.accepts("com.example.dto.OrderDto")).isFalse();
+	}
+
+	@Test
+	void matchesSliceOfLargerBuffer() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of("com.example"), List.of());
+		String descriptor = "(Lcom/example/Foo;)Ljava/lang/String;";
+
+		assertThat(filter.accepts(descriptor, 2, 17)).isTrue();
+		assertThat(filter.accepts(descriptor, 20, 36)).isFalse();
+	}
+
+	@Test
+	void matchesRawConstantPoolEntry() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of("com.example"), List.of("com.example.Legacy"));
+		// CONSTANT_Utf8_info: tag 1, u2 length, then the modified UTF-8 bytes.
+		byte[] pool = constantPool("com/example/Foo", "com/example/Legacy$1", "java/lang/Object");
+
+		assertThat(filter.accepts(pool, 3, 15)).isTrue();
+		assertThat(filter.accepts(pool, 21, 20)).isFalse();
+		assertThat(filter.accepts(pool, 44, 16)).isFalse();
+	}
+
+	@Test
+	void matchesNonAsciiNamesFromBytes() {
+		PackageMaskFilter filter = PackageMaskFilter.of(List.of("com.example.z\u00e4hlung"), List.of());
+		byte[] matching = "com/example/z\u00e4hlung/Z\u00e4hler".getBytes(StandardCharsets.UTF_8);
+		byte[] other = "com/example/zahlung/Zahler".getBytes(StandardCharsets.UTF_8);
+
+		assertThat(filter.accepts(matching, 0, matching.length)).isTrue();
+		assertThat(filter.accepts(other, 0, other.length)).isFalse();
+	}
+
+	@Test
+	void rejectsUnsupportedMasks() {
+		assertThatIllegalArgumentException().isThrownBy(() -> PackageMaskFilter.of(List.of(" "), List.of()));
+		assertThatIllegalArgumentException().isThrownBy(() -> PackageMaskFilter.of(List.of("."), List.of()));
+		assertThatIllegalArgumentException().isThrownBy(() -> PackageMaskFilter.of(List.of("com.*.service"), List.of()));
+	}
+
+	private static byte[] constantPool(String... names) {
+		ByteArrayOutputStream pool = new ByteArrayOutputStream();
+		for (String name : names) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			pool.write(1);
+			pool.write(bytes.length >> 8);
+			pool.write(bytes.length);
+			pool.writeBytes(bytes);
+		}
+		return pool.toByteArray();
+	}
+
+}
@@ -0,0 +1,405 @@
+package spring.twin.synthetic;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Writes a fake Spring Boot project for scale testing the indexing pipeline.
+ * <p>
+ * Layout of the output directory:
+ * <ul>
+ *   <li>{@code src/main/java} - {@code @RestController}/{@code @Service}/{@code @Repository} beans wired by
+ *   constructor injection, grouped into {@code com.example.synthetic.module<N>} packages;</li>
+ *   <li>{@code classes} - the compiled sources, input for {@code scan-bytecode};</li>
+ *   <li>{@code ground-truth.json} - planted modules in the {@code clusters.json} format, with every
+ *   cross-module dependency listed in {@code penaltyEdges} as a {@code DEPENDS_ON} edge and, when beans call
+ *   their dependencies, a {@code CALLS} edge.</li>
+ * </ul>
+ * Run from Gradle: {@code ./gradlew generateSyntheticProject --args="--output build/synthetic --classes 100000"}.
+ */
+public class SyntheticProjectGenerator {
+
+	static final String BASE_PACKAGE = "com.example.synthetic";
+
+	private static final String REST_CONTROLLER = "org.springframework.web.bind.annotation.RestController";
+
+	private final SyntheticProjectSpec spec;
+
+	public SyntheticProjectGenerator(SyntheticProjectSpec spec) {
+		this.spec = spec;
+	}
+
+	public static void main(String[] args) {
+		SyntheticProjectSpec spec = SyntheticProjectSpec.parse(args);
+		List<Module> modules = new SyntheticProjectGenerator(spec).generate();
+		System.out.printf("Generated %d classes in %d modules under %s%n",
+				spec.classes(), modules.size(), spec.output().toAbsolutePath());
+	}
+
+	/**
+	 * Generates the project and returns the planted module structure.
+	 */
+	public List<Module> generate() {
+		List<Module> modules = plan();
+		Path sources = spec.output().resolve("src/main/java");
+		for (Module module : modules) {
+			writeModule(sources, module);
+		}
+		write(spec.output().resolve("ground-truth.json"), groundTruth(modules));
+		if (spec.compile()) {
+			compile(sources, spec.output().resolve("classes"));
+		}
+		return modules;
+	}
+
+	List<Module> plan() {
+		Random random = new Random(spec.seed());
+		List<Module> modules = new ArrayList<>(spec.modules());
+		for (int m = 0; m < spec.modules(); m++) {
+			int size = spec.classes() / spec.modules() + (m < spec.classes() % spec.modules() ? 1 : 0);
+			modules.add(new Module(m, size));
+		}
+		for (Module module : modules) {
+			for (Bean bean : module.controllers) {
+				wire(random, modules, module, bean, Integer.MAX_VALUE, false);
+			}
+			for (Bean bean : module.services) {
+				// Services only depend on services with a lower index, which keeps the DI graph acyclic.
+				wire(random, modules, module, bean, bean.index, true);
+			}
+		}
+		return modules;
+	}
+
+	/**
+	 * Picks dependencies among the first {@code serviceLimit} services of the target module and, optionally, its
+	 * repositories, indexing into both lists directly instead of building a candidate list per pick.
+	 */
+	private void wire(Random random, List<Module> modules, Module own, Bean bean,
+			int serviceLimit, boolean repositories) {
+		for (int i = 0; i < spec.fanOut(); i++) {
+			Module target = own;
+			if (modules.size() > 1 && random.nextDouble() < spec.crossModuleRatio()) {
+				int other = random.nextInt(modules.size() - 1);
+				target = modules.get(other >= own.index ? other + 1 : other);
+			}
+			int services = Math.min(serviceLimit, target.services.size());
+			int pool = services + (repositories ? target.repositories.size() : 0);
+			if (pool == 0) {
+				continue;
+			}
+			int pick = random.nextInt(pool);
+			Bean dependency = pick < services ? target.services.get(pick) : target.repositories.get(pick - services);
+			if (dependency != bean && !bean.dependencies.contains(dependency)) {
+				bean.dependencies.add(dependency);
+			}
+		}
+	}
+
+	private static List<Bean> concat(List<Bean> first, List<Bean> second) {
+		List<Bean> result = new ArrayList<>(first.size() + second.size());
+		result.addAll(first);
+		result.addAll(second);
+		return result;
+	}
+
+	private void writeModule(Path sources, Module module) {
+		Path dir = sources.resolve(module.packageName().replace('.', '/'));
+		write(dir.resolve(module.eventName() + ".java"), """
+				package %s;
+
+				public class %s {
+
+					public final long value;
+
+					public %s(long value) {
+						this.value = value;
+					}
+
+				}
+				""".formatted(module.packageName(), module.eventName(), module.eventName()));
+		for (Bean bean : module.beans()) {
+			write(dir.resolve(bean.name + ".java"), source(module, bean));
+		}
+	}
+
+	private String source(Module module, Bean bean) {
+		StringBuilder imports = new StringBuilder("import ").append(bean.stereotype.annotation).append(";\n");
+		StringBuilder fields = new StringBuilder();
+		StringBuilder parameters = new StringBuilder();
+		StringBuilder assignments = new StringBuilder();
+		StringBuilder body = new StringBuilder();
+		for (Bean dependency : bean.dependencies) {
+			if (dependency.module != module.index) {
+				imports.append("import ").append(dependency.qualifiedName()).append(";\n");
+			}
+			String field = dependency.fieldName();
+			fields.append("\tprivate final ").append(dependency.name).append(' ').append(field).append(";\n");
+			parameters.append(parameters.isEmpty() ? "" : ", ").append(dependency.name).append(' ').append(field);
+			assignments.append("\t\tthis.").append(field).append(" = ").append(field).append(";\n");
+			for (int c = 0; c < spec.calls(); c++) {
+				body.append("\t\tresult += ").append(field).append(".process(result);\n");
+			}
+		}
+		return """
+				package %s;
+
+				%s
+				@%s
+				public class %s {
+
+				%s	public %s(%s) {
+				%s	}
+
+					public long process(long input) {
+						long result = input;
+				%s		%s event = new %s(result);
+						return event.value;
+					}
+
+				}
+				""".formatted(module.packageName(), imports, bean.stereotype.simpleName(), bean.name,
+				fields.isEmpty() ? "" : fields.append('\n'),
+				bean.name, parameters, assignments, body, module.eventName(), module.eventName());
+	}
+
+	private String groundTruth(List<Module> modules) {
+		StringBuilder json = new StringBuilder("{\n  \"clusters\": [");
+		for (int m = 0; m < modules.size(); m++) {
+			Module module = modules.get(m);
+			json.append(m == 0 ? "\n" : ",\n").append("    {\n      \"id\": \"module-").append(module.index)
+					.append("\",\n      \"classes\": [\n        \"").append(module.eventName()).append('"');
+			for (Bean bean : module.beans()) {
+				json.append(",\n        \"").append(bean.name).append('"');
+			}
+			json.append("\n      ]\n    }");
+		}
+		json.append("\n  ],\n  \"penaltyEdges\": [");
+		boolean first = true;
+		for (Module module : modules) {
+			for (Bean bean : module.beans()) {
+				for (Bean dependency : bean.dependencies) {
+					if (dependency.module != bean.module) {
+						penaltyEdge(json, first, bean, dependency, "DEPENDS_ON");
+						if (spec.calls() > 0) {
+							penaltyEdge(json, false, bean, dependency, "CALLS");
+						}
+						first = false;
+					}
+				}
+			}
+		}
+		return json.append("\n  ]\n}\n").toString();
+	}
+
+	private static void penaltyEdge(StringBuilder json, boolean first, Bean from, Bean to, String type) {
+		json.append(first ? "\n" : ",\n").append("    {\"from\": \"").append(from.name)
+				.append("\", \"to\": \"").append(to.name).append("\", \"type\": \"").append(type).append("\"}");
+	}
+
+	private void compile(Path sources, Path classes) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			throw new IllegalStateException("No system Java compiler; run the generator on a JDK");
+		}
+		String classpath = System.getProperty("java.class.path");
+		// Stubs stay outside the project so that scanners do not index them as project types.
+		Path stubs = createTempDirectory("spring-twin-stubs");
+		try {
+			boolean stubbed = false;
+			for (Stereotype stereotype : Stereotype.values()) {
+				if (!onClasspath(stereotype.annotation)) {
+					// spring-web is not a dependency of the CLI, so compile against a source-compatible stub.
+					write(stubs.resolve("src").resolve(stereotype.annotation.replace('.', '/') + ".java"), """
+							package %s;
+
+							import java.lang.annotation.*;
+
+							@Target(ElementType.TYPE)
+							@Retention(RetentionPolicy.RUNTIME)
+							@Documented
+							public @interface %s {
+							}
+							""".formatted(stereotype.packageName(), stereotype.simpleName()));
+					stubbed = true;
+				}
+			}
+			if (stubbed) {
+				Path stubClasses = stubs.resolve("classes");
+				run(compiler, stubs.resolve("src"), stubClasses, classpath);
+				classpath = classpath + File.pathSeparator + stubClasses;
+			}
+			run(compiler, sources, classes, classpath);
+		} finally {
+			delete(stubs);
+		}
+	}
+
+	private static void run(JavaCompiler compiler, Path sources, Path classes, String classpath) {
+		try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null);
+				Stream<Path> walk = Files.walk(sources)) {
+			List<Path> units = walk.filter(p -> p.toString().endsWith(".java")).sorted().toList();
+			Files.createDirectories(classes);
+			List<String> options = List.of("-d", classes.toString(), "-classpath", classpath, "-proc:none", "-nowarn");
+			Boolean success = compiler.getTask(null, files, null, options, null, files.getJavaFileObjectsFromPaths(units)).call();
+			if (!Boolean.TRUE.equals(success)) {
+				throw new IllegalStateException("Compilation of " + sources + " failed");
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static boolean onClasspath(String className) {
+		try {
+			Class.forName(className, false, SyntheticProjectGenerator.class.getClassLoader());
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	private static Path createTempDirectory(String prefix) {
+		try {
+			return Files.createTempDirectory(prefix);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void delete(Path root) {
+		try (Stream<Path> walk = Files.walk(root)) {
+			for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void write(Path file, String content) {
+		try {
+			Files.createDirectories(file.getParent());
+			Files.writeString(file, content);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	enum Stereotype {
+		CONTROLLER(REST_CONTROLLER, "Controller"),
+		SERVICE("org.springframework.stereotype.Service", "Service"),
+		REPOSITORY("org.springframework.stereotype.Repository", "Repository");
+
+		final String annotation;
+		final String suffix;
+
+		Stereotype(String annotation, String suffix) {
+			this.annotation = annotation;
+			this.suffix = suffix;
+		}
+
+		String packageName() {
+			return annotation.substring(0, annotation.lastIndexOf('.'));
+		}
+
+		String simpleName() {
+			return annotation.substring(annotation.lastIndexOf('.') + 1);
+		}
+	}
+
+	/**
+	 * A planted module: 20% controllers, 50% services and 30% repositories, at least one service.
+	 */
+	public static final class Module {
+
+		final int index;
+		final List<Bean> controllers = new ArrayList<>();
+		final List<Bean> services = new ArrayList<>();
+		final List<Bean> repositories = new ArrayList<>();
+
+		Module(int index, int size) {
+			this.index = index;
+			int controllerCount = size / 5;
+			int repositoryCount = size * 3 / 10;
+			int serviceCount = size - controllerCount - repositoryCount;
+			add(controllers, Stereotype.CONTROLLER, controllerCount);
+			add(services, Stereotype.SERVICE, serviceCount);
+			add(repositories, Stereotype.REPOSITORY, repositoryCount);
+		}
+
+		private void add(List<Bean> target, Stereotype stereotype, int count) {
+			for (int i = 0; i < count; i++) {
+				target.add(new Bean(this, stereotype, i));
+			}
+		}
+
+		public int index() {
+			return index;
+		}
+
+		public String packageName() {
+			return BASE_PACKAGE + ".module" + index;
+		}
+
+		public String eventName() {
+			return "Module" + index + "Event";
+		}
+
+		public List<Bean> beans() {
+			return concat(concat(controllers, services), repositories);
+		}
+
+	}
+
+	/**
+	 * A generated bean and the beans injected into its constructor.
+	 */
+	public static final class Bean {
+
+		final int module;
+		final Stereotype stereotype;
+		final int index;
+		final String name;
+		final String packageName;
+		final List<Bean> dependencies = new ArrayList<>();
+
+		Bean(Module module, Stereotype stereotype, int index) {
+			this.module = module.index;
+			this.stereotype = stereotype;
+			this.index = index;
+			this.name = "Module" + module.index + stereotype.suffix + index;
+			this.packageName = module.packageName();
+		}
+
+		public String name() {
+			return name;
+		}
+
+		public String qualifiedName() {
+			return packageName + "." + name;
+		}
+
+		public List<Bean> dependencies() {
+			return dependencies;
+		}
+
+		String fieldName() {
+			return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+		}
+
+	}
+
+}
@@ -0,0 +1,102 @@
+package spring.twin.synthetic;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SyntheticProjectGeneratorTests {
+
+	@TempDir
+	Path output;
+
+	@Test
+	void generatesSourcesClassesAndGroundTruth() throws IOException {
+		List<SyntheticProjectGenerator.Module> modules = new SyntheticProjectGenerator(
+				new SyntheticProjectSpec(output, 40, 4, 3, 2, 0.2, 7L, true)).generate();
+
+		assertThat(modules).hasSize(4);
+		assertThat(modules.stream().mapToInt(m -> m.beans().size()).sum()).isEqualTo(40);
+		// One event class per module on top of the beans, and no annotation stubs inside the project.
+		assertThat(count(output, ".java")).isEqualTo(44);
+		assertThat(count(output, ".class")).isEqualTo(44);
+		String groundTruth = Files.readString(output.resolve("ground-truth.json"));
+		assertThat(groundTruth).contains("\"id\": \"module-3\"", "\"Module0Service0\"", "\"Module3Event\"");
+		List<String> penaltyEdges = penaltyEdges(modules, "DEPENDS_ON", "CALLS");
+		assertThat(penaltyEdges).isNotEmpty();
+		assertThat(groundTruth).contains(penaltyEdges);
+		assertThat(groundTruth.split("\"from\"", -1)).hasSize(penaltyEdges.size() + 1);
+	}
+
+	@Test
+	void omitsCallsPenaltyEdgesWithoutCalls() throws IOException {
+		List<SyntheticProjectGenerator.Module> modules = new SyntheticProjectGenerator(
+				new SyntheticProjectSpec(output, 40, 4, 3, 0, 0.2, 7L, false)).generate();
+
+		String groundTruth = Files.readString(output.resolve("ground-truth.json"));
+		assertThat(groundTruth).contains(penaltyEdges(modules, "DEPENDS_ON")).doesNotContain("\"CALLS\"");
+	}
+
+	@Test
+	void sameSeedProducesSameProject() {
+		SyntheticProjectSpec spec = new SyntheticProjectSpec(output, 200, 5, 4, 1, 0.3, 11L, false);
+
+		assertThat(names(new SyntheticProjectGenerator(spec).plan()))
+				.isEqualTo(names(new SyntheticProjectGenerator(spec).plan()));
+	}
+
+	@Test
+	void servicesOnlyDependOnLowerIndexedServices() {
+		SyntheticProjectSpec spec = new SyntheticProjectSpec(output, 500, 5, 5, 1, 0.5, 3L, false);
+
+		for (SyntheticProjectGenerator.Module module : new SyntheticProjectGenerator(spec).plan()) {
+			for (SyntheticProjectGenerator.Bean service : module.services) {
+				assertThat(service.dependencies())
+						.filteredOn(d -> d.stereotype == SyntheticProjectGenerator.Stereotype.SERVICE)
+						.allMatch(d -> d.index < service.index);
+			}
+		}
+	}
+
+	@Test
+	void parsesCommandLine() {
+		SyntheticProjectSpec spec = SyntheticProjectSpec.parse(
+				"--output", "build/synthetic", "--classes", "100000", "--modules", "50", "--no-compile");
+
+		assertThat(spec.output()).isEqualTo(Path.of("build/synthetic"));
+		assertThat(spec.classes()).isEqualTo(100_000);
+		assertThat(spec.modules()).isEqualTo(50);
+		assertThat(spec.fanOut()).isEqualTo(3);
+		assertThat(spec.compile()).isFalse();
+	}
+
+	private static List<String> penaltyEdges(List<SyntheticProjectGenerator.Module> modules, String... types) {
+		return modules.stream()
+				.flatMap(m -> m.beans().stream())
+				.flatMap(b -> b.dependencies().stream()
+						.filter(d -> d.module != b.module)
+						.flatMap(d -> Stream.of(types).map(type ->
+								"{\"from\": \"" + b.name() + "\", \"to\": \"" + d.name() + "\", \"type\": \"" + type + "\"}")))
+				.toList();
+	}
+
+	private static List<String> names(List<SyntheticProjectGenerator.Module> modules) {
+		return modules.stream()
+				.flatMap(m -> m.beans().stream())
+				.flatMap(b -> Stream.concat(Stream.of(b.name()), b.dependencies().stream().map(d -> "->" + d.name())))
+				.toList();
+	}
+
+	private static long count(Path root, String suffix) throws IOException {
+		try (Stream<Path> files = Files.walk(root)) {
+			return files.filter(p -> p.toString().endsWith(suffix)).count();
+		}
+	}
+
+}
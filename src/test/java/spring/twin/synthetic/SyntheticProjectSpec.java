@@ -0,0 +1,78 @@
+package spring.twin.synthetic;
+
+import java.nio.file.Path;
+
+/**
+ * Parameters of a generated Spring Boot project.
+ *
+ * @param output           root directory of the generated project
+ * @param classes          total number of Spring beans to generate
+ * @param modules          number of planted modules (ground-truth clusters)
+ * @param fanOut           constructor-injected dependencies per controller/service
+ * @param calls            call sites per injected dependency in each bean method
+ * @param crossModuleRatio probability that a dependency points into another module
+ * @param seed             random seed; equal specs produce identical projects
+ * @param compile          whether to compile the sources into {@code classes}
+ */
+public record SyntheticProjectSpec(
+		Path output,
+		int classes,
+		int modules,
+		int fanOut,
+		int calls,
+		double crossModuleRatio,
+		long seed,
+		boolean compile) {
+
+	public SyntheticProjectSpec {
+		if (classes < modules) {
+			throw new IllegalArgumentException("classes must be at least modules: " + classes + " < " + modules);
+		}
+		if (modules < 1 || fanOut < 0 || calls < 0) {
+			throw new IllegalArgumentException("modules must be positive, fanOut and calls non-negative");
+		}
+		if (crossModuleRatio < 0 || crossModuleRatio > 1) {
+			throw new IllegalArgumentException("crossModuleRatio must be within [0, 1]: " + crossModuleRatio);
+		}
+	}
+
+	/**
+	 * Parses {@code --name value} pairs; only {@code --output} is required.
+	 */
+	public static SyntheticProjectSpec parse(String... args) {
+		Path output = null;
+		int classes = 1_000;
+		int modules = 10;
+		int fanOut = 3;
+		int calls = 1;
+		double crossModuleRatio = 0.1;
+		long seed = 42L;
+		boolean compile = true;
+		for (int i = 0; i < args.length; i++) {
+			String name = args[i];
+			if (name.equals("--no-compile")) {
+				compile = false;
+				continue;
+			}
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("Missing value for " + name);
+			}
+			String value = args[++i];
+			switch (name) {
+				case "--output" -> output = Path.of(value);
+				case "--classes" -> classes = Integer.parseInt(value);
+				case "--modules" -> modules = Integer.parseInt(value);
+				case "--fan-out" -> fanOut = Integer.parseInt(value);
+				case "--calls" -> calls = Integer.parseInt(value);
+				case "--cross-module-ratio" -> crossModuleRatio = Double.parseDouble(value);
+				case "--seed" -> seed = Long.parseLong(value);
+				default -> throw new IllegalArgumentException("Unknown option " + name);
+			}
+		}
+		if (output == null) {
+			throw new IllegalArgumentException("--output is required");
+		}
+		return new SyntheticProjectSpec(output, classes, modules, fanOut, calls, crossModuleRatio, seed, compile);
+	}
+
+}